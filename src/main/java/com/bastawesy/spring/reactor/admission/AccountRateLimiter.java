@@ -0,0 +1,77 @@
+package com.bastawesy.spring.reactor.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free per account rate limiter using the generic cell rate algorithm (a token bucket that stores a single
+ * "theoretical arrival time" per bucket instead of a token count and a refill timestamp).
+ * <p>
+ * Buckets live in a fixed size {@link AtomicLongArray} indexed by the account id hash, so memory is bounded
+ * regardless of how many accounts are seen. Accounts that collide on the same slot share a bucket; size the
+ * table well above the number of concurrently active accounts to keep that rare.
+ */
+public class AccountRateLimiter {
+
+    private final AtomicLongArray theoreticalArrivalTimes;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+    private final LongSupplier clock;
+    private final long origin;
+
+    /**
+     * @param slots            number of buckets, rounded up to the next power of two
+     * @param permitsPerSecond sustained rate allowed per account
+     * @param burst            number of requests an idle account can send at once
+     */
+    public AccountRateLimiter(int slots, double permitsPerSecond, int burst) {
+        this(slots, permitsPerSecond, burst, System::nanoTime);
+    }
+
+    AccountRateLimiter(int slots, double permitsPerSecond, int burst, LongSupplier clock) {
+        if (slots <= 0 || permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("slots, permitsPerSecond and burst must be positive");
+        }
+        int size = 1;
+        while (size < slots && size < (1 << 30)) {
+            size <<= 1;
+        }
+        this.theoreticalArrivalTimes = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.emissionIntervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstWindowNanos = emissionIntervalNanos * burst;
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Try to take one permit for the passed account
+     *
+     * @param accountId account key
+     * @return 0 if the request is admitted, otherwise the nanoseconds to wait before a permit is available
+     */
+    public long tryAcquire(String accountId) {
+        int index = indexFor(accountId);
+        while (true) {
+            long now = clock.getAsLong() - origin;
+            long arrival = theoreticalArrivalTimes.get(index);
+            long nextArrival = Math.max(arrival, now) + emissionIntervalNanos;
+            long ahead = nextArrival - now;
+            if (ahead > burstWindowNanos) {
+                return ahead - burstWindowNanos;
+            }
+            if (theoreticalArrivalTimes.compareAndSet(index, arrival, nextArrival)) {
+                return 0;
+            }
+        }
+    }
+
+    private int indexFor(String accountId) {
+        int hash = accountId == null ? 0 : accountId.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,100 @@
+package com.bastawesy.spring.reactor.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Global in-flight request limit that adapts to observed latency (additive increase, multiplicative decrease).
+ * <p>
+ * A completion slower than the latency threshold shrinks the limit by the backoff ratio, at most once per latency
+ * window: requests admitted before the last decrease already saw the congestion that caused it and are ignored.
+ * Faster completions while the limit is actually being used earn increase credits, the limit grows by one once
+ * it has earned as many credits as its current value, i.e. by one per window of {@code limit} completions.
+ * Both directions are bounded by the min and max limits.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicInteger increaseCredits = new AtomicInteger();
+    private final AtomicLong lastDecreaseNanos;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier clock;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                                      double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyThresholdNanos, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                               double backoffRatio, LongSupplier clock) {
+        if (minLimit <= 0 || minLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("0 < minLimit <= maxLimit and 0 < backoffRatio < 1 are required");
+        }
+        this.limit = new AtomicInteger(Math.min(maxLimit, Math.max(minLimit, initialLimit)));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.clock = clock;
+        this.lastDecreaseNanos = new AtomicLong(clock.getAsLong() - 1);
+    }
+
+    /**
+     * Try to reserve an in-flight slot, every successful call must be followed by {@link #release(long)} or
+     * {@link #cancel()}
+     *
+     * @return true if the request is admitted
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release an in-flight slot and feed the observed latency back into the limit
+     *
+     * @param startNanos {@link System#nanoTime()} when the request was admitted
+     */
+    public void release(long startNanos) {
+        long now = clock.getAsLong();
+        int current = inFlight.getAndDecrement();
+        if (now - startNanos > latencyThresholdNanos) {
+            long lastDecrease = lastDecreaseNanos.get();
+            if (startNanos - lastDecrease > 0 && lastDecreaseNanos.compareAndSet(lastDecrease, now)) {
+                limit.updateAndGet(value -> Math.max(minLimit, (int) (value * backoffRatio)));
+            }
+        } else if (current * 2 >= limit.get()) {
+            int credits = increaseCredits.incrementAndGet();
+            if (credits >= limit.get() && increaseCredits.compareAndSet(credits, 0)) {
+                limit.updateAndGet(value -> Math.min(maxLimit, value + 1));
+            }
+        }
+    }
+
+    /**
+     * Release an in-flight slot of a request that was not processed, without affecting the limit
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,124 @@
+package com.bastawesy.spring.reactor.admission;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reject requests to the guarded endpoints with {@code 429 Too Many Requests} and a {@code Retry-After} header
+ * when the service is over its adaptive in-flight limit or the calling account is over its rate.
+ * <p>
+ * Registered right after the Spring Security filter chain so the bucket is keyed on the authenticated principal,
+ * callers without one are bounded per remote address. Neither reads the body, so rejected requests never reach
+ * body parsing or the database.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AccountRateLimiter accountRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public AdmissionControlFilter(AccountRateLimiter accountRateLimiter,
+                                  AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.accountRateLimiter = accountRateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(response, ONE_SECOND_NANOS);
+            return;
+        }
+        long retryAfterNanos = accountRateLimiter.tryAcquire(resolveAccountId(request));
+        if (retryAfterNanos > 0) {
+            concurrencyLimiter.cancel();
+            reject(response, retryAfterNanos);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean asyncStarted = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletionListener(start));
+                asyncStarted = true;
+            }
+        } finally {
+            if (!asyncStarted) {
+                concurrencyLimiter.release(start);
+            }
+        }
+    }
+
+    /**
+     * Resolve the bucket key from the authenticated principal, falling back to the remote address so
+     * unauthenticated callers are still bounded per client
+     */
+    private String resolveAccountId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Keep the in-flight slot of an async request (e.g. a handler returning {@code Mono}) until the async
+     * processing ends, the filter chain returns as soon as it starts
+     */
+    private class ReleaseOnCompletionListener implements AsyncListener {
+
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletionListener(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimiter.release(start);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterNanos) {
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + ONE_SECOND_NANOS - 1) / ONE_SECOND_NANOS);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+}
@@ -0,0 +1,136 @@
+package com.bastawesy.spring.reactor.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Admission control settings for the allocation / reservation endpoints
+ */
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+    /**
+     * Enable admission control
+     */
+    private boolean enabled = true;
+    /**
+     * Servlet URL patterns guarded by admission control
+     */
+    private List<String> urlPatterns = new ArrayList<>(Arrays.asList("/allocation/*", "/reservation/*"));
+    /**
+     * Sustained requests per second allowed per account
+     */
+    private double permitsPerSecond = 50;
+    /**
+     * Requests an idle account can send at once
+     */
+    private int burst = 100;
+    /**
+     * Number of per account buckets, bounds the limiter memory
+     */
+    private int buckets = 65536;
+    /**
+     * Initial global in-flight limit
+     */
+    private int initialConcurrencyLimit = 200;
+    /**
+     * Lower bound of the adaptive in-flight limit
+     */
+    private int minConcurrencyLimit = 20;
+    /**
+     * Upper bound of the adaptive in-flight limit
+     */
+    private int maxConcurrencyLimit = 1000;
+    /**
+     * Requests slower than this shrink the in-flight limit
+     */
+    private Duration latencyThreshold = Duration.ofMillis(250);
+    /**
+     * Factor applied to the in-flight limit when a request is slower than the threshold
+     */
+    private double backoffRatio = 0.9;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+    public void setUrlPatterns(List<String> urlPatterns) {
+        this.urlPatterns = urlPatterns;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(int buckets) {
+        this.buckets = buckets;
+    }
+
+    public int getInitialConcurrencyLimit() {
+        return initialConcurrencyLimit;
+    }
+
+    public void setInitialConcurrencyLimit(int initialConcurrencyLimit) {
+        this.initialConcurrencyLimit = initialConcurrencyLimit;
+    }
+
+    public int getMinConcurrencyLimit() {
+        return minConcurrencyLimit;
+    }
+
+    public void setMinConcurrencyLimit(int minConcurrencyLimit) {
+        this.minConcurrencyLimit = minConcurrencyLimit;
+    }
+
+    public int getMaxConcurrencyLimit() {
+        return maxConcurrencyLimit;
+    }
+
+    public void setMaxConcurrencyLimit(int maxConcurrencyLimit) {
+        this.maxConcurrencyLimit = maxConcurrencyLimit;
+    }
+
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    public void setLatencyThreshold(Duration latencyThreshold) {
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+}
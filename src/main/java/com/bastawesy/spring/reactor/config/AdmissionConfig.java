@@ -0,0 +1,49 @@
+package com.bastawesy.spring.reactor.config;
+
+import com.bastawesy.spring.reactor.admission.AccountRateLimiter;
+import com.bastawesy.spring.reactor.admission.AdaptiveConcurrencyLimiter;
+import com.bastawesy.spring.reactor.admission.AdmissionControlFilter;
+import com.bastawesy.spring.reactor.admission.AdmissionProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wire the admission control layer in front of the allocation / reservation endpoints
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AccountRateLimiter accountRateLimiter(AdmissionProperties properties) {
+        return new AccountRateLimiter(properties.getBuckets(), properties.getPermitsPerSecond(),
+                properties.getBurst());
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(AdmissionProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties.getInitialConcurrencyLimit(),
+                properties.getMinConcurrencyLimit(), properties.getMaxConcurrencyLimit(),
+                properties.getLatencyThreshold().toNanos(), properties.getBackoffRatio());
+    }
+
+    /**
+     * Register the filter on the guarded URL patterns only, right after the Spring Security filter chain so the
+     * authenticated principal is available
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdmissionProperties properties, AccountRateLimiter accountRateLimiter,
+            AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(accountRateLimiter, adaptiveConcurrencyLimiter));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -2,10 +2,13 @@ package com.bastawesy.spring.reactor.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.apache.commons.lang3.EnumUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.text.MessageFormat;
@@ -15,6 +18,8 @@ import java.util.function.Supplier;
 public class CommonUtils {
 
     private static ObjectMapper mapper = new ObjectMapper();
+    private static ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private static ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
     private static Logger logger = LoggerFactory.getLogger(CommonUtils.class);
 
     private CommonUtils() {
@@ -142,6 +147,52 @@ public class CommonUtils {
         }
     }
 
+    /**
+     * Encode the passed object using the Jackson format matching the passed media type
+     * (CBOR, Smile or JSON as the default)
+     *
+     * @param data      object to be encoded
+     * @param mediaType target media type
+     * @return encoded bytes or empty if the object could not be encoded
+     */
+    public static Optional<byte[]> toBytes(Object data, MediaType mediaType) {
+        try {
+            return Optional.ofNullable(getMapper(mediaType).writeValueAsBytes(data));
+        } catch (Exception e) {
+            logger.error("Error converting data : {} object to {}", data, mediaType, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Decode the passed bytes using the Jackson format matching the passed media type
+     * (CBOR, Smile or JSON as the default)
+     *
+     * @param bytes     encoded payload
+     * @param klass     target class
+     * @param mediaType media type of the payload
+     * @param <T>       target type
+     * @return decoded object or empty if the payload could not be decoded
+     */
+    public static <T> Optional<T> fromBytes(byte[] bytes, Class<T> klass, MediaType mediaType) {
+        try {
+            return Optional.ofNullable(getMapper(mediaType).readValue(bytes, klass));
+        } catch (Exception e) {
+            logger.error("Could not create object from passed {} payload ", mediaType, e);
+            return Optional.empty();
+        }
+    }
+
+    private static ObjectMapper getMapper(MediaType mediaType) {
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType)) {
+            return cborMapper;
+        }
+        if (HTTPUtils.APPLICATION_SMILE.equalsTypeAndSubtype(mediaType)) {
+            return smileMapper;
+        }
+        return mapper;
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> List<T> asList(T... values) {
         if (isBlankOrNull(values)) {
@@ -39,6 +39,12 @@ public class Constants {
     /* ------------* ReleaseReservationRequest Validation Messages *----------- */
     public static final String RELEASE_RESERVATION_REQUEST_RESERVED_FOR_VALIDATION_MSG = " 'reservedFor' can not be blank or null ";
     public static final String RELEASE_RESERVATION_REQUEST_RELEASED_BY_VALIDATION_MSG = " 'releasedBy' can not be blank or null ";
+    /* ------------* Hibernate Second-Level Cache Regions (see ehcache.xml) *----------- */
+    /* Reference data only: the cache is per instance, balances must always be read from the DB */
+    public static final String BALANCE_TYPE_CACHE_REGION = "balance-type";
+    public static final String UNIT_CACHE_REGION = "unit";
+    public static final String SERVICE_KEY_CACHE_REGION = "service-key";
+    public static final String REFERENCE_DATA_QUERY_CACHE_REGION = "reference-data-query";
     private Constants() {
         throw new IllegalStateException("Utility class");
     }
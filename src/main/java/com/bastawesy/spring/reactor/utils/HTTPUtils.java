@@ -4,12 +4,24 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 
 /**
  * Util class to provide some rest util methods
  */
 public class HTTPUtils {
+    /**
+     * Jackson Smile binary format, spring does not ship a MediaType constant for it
+     */
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    /**
+     * Accepted after a binary media type so peers without CBOR / Smile support still answer with JSON
+     */
+    private static final MediaType JSON_FALLBACK = new MediaType(MediaType.APPLICATION_JSON,
+            Collections.singletonMap("q", "0.5"));
+
     private HTTPUtils() {
         throw new IllegalStateException("Utility class");
     }
@@ -37,6 +49,20 @@ public class HTTPUtils {
     }
 
 
+    /**
+     * create http entity containing the passed headers data, accepting the passed media type as response
+     * e.g {@link MediaType#APPLICATION_CBOR} or {@link #APPLICATION_SMILE} for internal calls
+     *
+     * @param mediaType accepted response type
+     * @param headers   headers data
+     * @return HttpEntity instance
+     */
+    public static HttpEntity<Object> createHttpEntityAccepting(MediaType mediaType, Map<String, String> headers) {
+        HttpHeaders requestHeaders = prepareRequestHeader(headers, mediaType);
+        return new HttpEntity<>(requestHeaders);
+    }
+
+
     /**
      * create http entity containing the passed body
      *
@@ -56,7 +82,21 @@ public class HTTPUtils {
      * @return HttpEntity instance
      */
     public static HttpEntity<Object> createHttpEntity(Object body, Map<String, String> headers) {
-        HttpHeaders requestHeaders = prepareRequestHeader(headers);
+        return createHttpEntity(body, headers, MediaType.APPLICATION_JSON);
+    }
+
+
+    /**
+     * create http entity containing the passed headers data and the passed body, encoded and accepted as the
+     * passed media type e.g {@link MediaType#APPLICATION_CBOR} or {@link #APPLICATION_SMILE} for internal calls
+     *
+     * @param headers   headers data
+     * @param body      body data
+     * @param mediaType content type of the body and the accepted response type
+     * @return HttpEntity instance
+     */
+    public static HttpEntity<Object> createHttpEntity(Object body, Map<String, String> headers, MediaType mediaType) {
+        HttpHeaders requestHeaders = prepareRequestHeader(headers, mediaType);
         return new HttpEntity<>(body, requestHeaders);
     }
 
@@ -68,8 +108,24 @@ public class HTTPUtils {
      * @return HttpHeaders instance
      */
     private static HttpHeaders prepareRequestHeader(Map<String, String> headers) {
+        return prepareRequestHeader(headers, MediaType.APPLICATION_JSON);
+    }
+
+
+    /**
+     * Create HttpHeaders object from the passed headers map using the passed media type as content type and
+     * preferred response type, with JSON as a lower priority fallback
+     *
+     * @param headers   headers data
+     * @param mediaType content type and accepted response type
+     * @return HttpHeaders instance
+     */
+    private static HttpHeaders prepareRequestHeader(Map<String, String> headers, MediaType mediaType) {
         HttpHeaders requestHeader = new HttpHeaders();
-        requestHeader.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        requestHeader.setContentType(mediaType);
+        if (!MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType)) {
+            requestHeader.setAccept(Arrays.asList(mediaType, JSON_FALLBACK));
+        }
         if (CommonUtils.isNotBlankOrNull(headers)) {
             for (Map.Entry<String, String> header : headers.entrySet()) {
                 requestHeader.set(header.getKey(), header.getValue());
@@ -0,0 +1,121 @@
+package com.bastawesy.spring.reactor;
+
+import com.bastawesy.spring.reactor.utils.CommonUtils;
+import com.bastawesy.spring.reactor.utils.HTTPUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * CBOR / Smile negotiation is served by the Spring MVC binary message converters, JSON stays the default and all
+ * formats share the {@code spring.jackson.*} settings
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("no-db")
+@Import(ContentNegotiationTests.EchoController.class)
+class ContentNegotiationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void cborRequestIsAnsweredWithCbor() throws Exception {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("accountId", "ACC-000123456");
+        payload.put("serviceKey", "SERVICE_KEY_3");
+        payload.put("priority", 1);
+        byte[] body = CommonUtils.toBytes(payload, MediaType.APPLICATION_CBOR).orElseThrow(IllegalStateException::new);
+
+        MvcResult result = mockMvc.perform(post("/echo").with(user("partner")).with(csrf())
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        assertEquals(payload, CommonUtils.fromBytes(result.getResponse().getContentAsByteArray(), Map.class,
+                MediaType.APPLICATION_CBOR).orElse(null));
+    }
+
+    @Test
+    void requestWithoutAcceptIsAnsweredWithJson() throws Exception {
+        mockMvc.perform(post("/echo").with(user("partner")).with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"accountId\":\"ACC-000123456\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.accountId").value("ACC-000123456"));
+    }
+
+    @Test
+    void binaryFormatsUseTheSameJacksonSettingsAsJson() throws Exception {
+        mockMvc.perform(get("/echo/balance").with(user("partner")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.validFrom").value("2020-01-01"));
+
+        for (MediaType format : Arrays.asList(MediaType.APPLICATION_CBOR, HTTPUtils.APPLICATION_SMILE)) {
+            MvcResult result = mockMvc.perform(get("/echo/balance").with(user("partner")).accept(format))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(format))
+                    .andReturn();
+            Map<?, ?> balance = CommonUtils.fromBytes(result.getResponse().getContentAsByteArray(), Map.class, format)
+                    .orElseThrow(IllegalStateException::new);
+            assertEquals("2020-01-01", balance.get("validFrom"), format + " date format drifted from json");
+            assertEquals(Collections.emptyMap(), balance.get("details"), format + " failed on empty bean");
+        }
+    }
+
+    @RestController
+    static class EchoController {
+
+        @GetMapping("/echo/balance")
+        public BalanceView balance() {
+            return new BalanceView();
+        }
+
+        @PostMapping("/echo")
+        public Map<String, Object> echo(@RequestBody Map<String, Object> body) {
+            return body;
+        }
+    }
+
+    public static class BalanceView {
+        public String balanceId = "8d0c5a7e-4c1b-4a5f-9f4e-1f2a3b4c5d6e";
+        public LocalDate validFrom = LocalDate.of(2020, 1, 1);
+        public Details details = new Details();
+    }
+
+    /**
+     * Bean without properties, serialized only because fail-on-empty-beans is disabled in application.yml
+     */
+    public static class Details {
+    }
+}
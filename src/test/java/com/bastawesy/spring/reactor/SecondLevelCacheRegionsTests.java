@@ -0,0 +1,62 @@
+package com.bastawesy.spring.reactor;
+
+import com.bastawesy.spring.reactor.utils.Constants;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Start Hibernate's JCache region factory against ehcache.xml with the settings from application.yml, so a bad
+ * ehcache.xml or a region constant without a matching alias fails the build instead of production startup
+ */
+class SecondLevelCacheRegionsTests {
+
+    @Test
+    void everyCacheRegionConstantHasAnEhcacheAlias() throws IllegalAccessException {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", "false")
+                .applySetting("hibernate.cache.use_second_level_cache", "true")
+                .applySetting("hibernate.cache.use_query_cache", "true")
+                .applySetting("hibernate.cache.region.factory_class", "jcache")
+                .applySetting("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider")
+                .applySetting("hibernate.javax.cache.uri", "ehcache.xml")
+                .applySetting("hibernate.javax.cache.missing_cache_strategy", "fail")
+                .build();
+        try (SessionFactory sessionFactory = new MetadataSources(registry).buildMetadata().buildSessionFactory()) {
+            SessionFactoryImplementor factory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+            CacheManager cacheManager = ((JCacheRegionFactory) factory.getCache().getRegionFactory())
+                    .getCacheManager();
+
+            List<String> regions = cacheRegionConstants();
+            assertFalse(regions.isEmpty());
+            for (String region : regions) {
+                assertNotNull(cacheManager.getCache(region), "missing ehcache.xml alias for region " + region);
+            }
+            assertNotNull(factory.getCache().getQueryResultsCache(Constants.REFERENCE_DATA_QUERY_CACHE_REGION));
+        }
+    }
+
+    private static List<String> cacheRegionConstants() throws IllegalAccessException {
+        List<String> regions = new ArrayList<>();
+        for (Field field : Constants.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getName().endsWith("_CACHE_REGION")) {
+                regions.add((String) field.get(null));
+            }
+        }
+        return regions;
+    }
+}
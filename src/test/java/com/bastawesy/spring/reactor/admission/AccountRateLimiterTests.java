@@ -0,0 +1,45 @@
+package com.bastawesy.spring.reactor.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountRateLimiterTests {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void admitsBurstThenRejectsWithRetryAfter() {
+        AccountRateLimiter limiter = new AccountRateLimiter(1024, 10, 5, clock::get);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("account-1"));
+        }
+        long retryAfter = limiter.tryAcquire("account-1");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), retryAfter);
+
+        clock.addAndGet(retryAfter);
+        assertEquals(0, limiter.tryAcquire("account-1"));
+        assertTrue(limiter.tryAcquire("account-1") > 0);
+    }
+
+    @Test
+    void accountsDoNotShareBuckets() {
+        AccountRateLimiter limiter = new AccountRateLimiter(1024, 1, 1, clock::get);
+        assertEquals(0, limiter.tryAcquire("noisy"));
+        assertTrue(limiter.tryAcquire("noisy") > 0);
+        assertEquals(0, limiter.tryAcquire("well-behaved"));
+    }
+
+    @Test
+    void idleAccountRefillsOnlyUpToBurst() {
+        AccountRateLimiter limiter = new AccountRateLimiter(1024, 10, 2, clock::get);
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("account-1"));
+        assertEquals(0, limiter.tryAcquire("account-1"));
+        assertTrue(limiter.tryAcquire("account-1") > 0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.bastawesy.spring.reactor.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void refusesAtLimitUntilSlotIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 2, THRESHOLD_NANOS, 0.9,
+                clock::get);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.cancel();
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void shrinksOncePerLatencyWindowOnSlowCompletions() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 1000, THRESHOLD_NANOS, 0.9,
+                clock::get);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        clock.set(SLOW_NANOS);
+        for (int i = 0; i < 50; i++) {
+            limiter.release(0);
+        }
+        assertEquals(90, limiter.getLimit());
+
+        long start = clock.get() + 1;
+        assertTrue(limiter.tryAcquire());
+        clock.set(start + SLOW_NANOS);
+        limiter.release(start);
+        assertEquals(81, limiter.getLimit());
+    }
+
+    @Test
+    void growsByOnePerWindowOfFastCompletionsWhileLimitIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 1000, THRESHOLD_NANOS, 0.9,
+                clock::get);
+        for (int i = 0; i < 100; i++) {
+            saturate(limiter);
+            limiter.release(clock.get());
+        }
+        assertTrue(limiter.getLimit() > 10, "limit did not grow");
+        assertTrue(limiter.getLimit() < 20, "limit grew faster than one per window: " + limiter.getLimit());
+
+        while (limiter.getInFlight() > 0) {
+            limiter.release(clock.get());
+        }
+        int limit = limiter.getLimit();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(clock.get());
+        }
+        assertEquals(limit, limiter.getLimit(), "an idle limiter must not grow");
+    }
+
+    @Test
+    void comesDownWhenOneInTenCompletionsIsSlow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 1000, THRESHOLD_NANOS, 0.9,
+                clock::get);
+        for (int i = 0; i < 10_000; i++) {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            saturate(limiter);
+            limiter.release(i % 10 == 0 ? clock.get() - SLOW_NANOS : clock.get());
+        }
+        assertTrue(limiter.getLimit() < 100, "limit did not come down: " + limiter.getLimit());
+    }
+
+    @Test
+    void staysWithinMinAndMaxLimits() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 8, 12, THRESHOLD_NANOS, 0.5,
+                clock::get);
+        for (int round = 0; round < 50; round++) {
+            saturate(limiter);
+            while (limiter.getInFlight() > 0) {
+                limiter.release(clock.get());
+            }
+        }
+        assertEquals(12, limiter.getLimit());
+
+        for (int round = 0; round < 10; round++) {
+            long start = clock.incrementAndGet();
+            assertTrue(limiter.tryAcquire());
+            clock.addAndGet(SLOW_NANOS);
+            limiter.release(start);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // fill every free in-flight slot
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.bastawesy.spring.reactor.admission;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Admission control through the application context: the filter is registered behind Spring Security and keys
+ * buckets on the authenticated principal.
+ * <p>
+ * Async handlers keep their in-flight slot until the async processing completes. The noisy neighbor load test
+ * (only with {@code -Dbenchmark=true}) floods the allocation endpoint from one account while a well-behaved
+ * account keeps sending at its normal rate. The well-behaved account must never be rejected and its tail latency
+ * must stay close to its baseline without the noisy neighbor.
+ */
+@SpringBootTest(properties = {"admission.permits-per-second=50", "admission.burst=10"})
+@AutoConfigureMockMvc
+@ActiveProfiles("no-db")
+@Import(AdmissionControlFilterLoadTests.AllocationController.class)
+class AdmissionControlFilterLoadTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilterLoadTests.class);
+    private static final long HANDLER_LATENCY_MILLIS = 5;
+    private static final long ASYNC_HANDLER_LATENCY_MILLIS = 200;
+    private static final int NOISY_THREADS = 16;
+    private static final int WELL_BEHAVED_REQUESTS = 60;
+    private static final long WELL_BEHAVED_INTERVAL_MILLIS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Test
+    void rejectsOverRateWithRetryAfterRegardlessOfAccountHeader() throws Exception {
+        int admitted = 0;
+        MockHttpServletResponse response = allocate("burst-account", "spoofed-0");
+        while (response.getStatus() == HttpStatus.OK.value() && admitted < 50) {
+            admitted++;
+            response = allocate("burst-account", "spoofed-" + admitted);
+        }
+        assertTrue(admitted >= 10, "burst was not admitted");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void asyncRequestKeepsItsInFlightSlotUntilCompletion() throws Exception {
+        int inFlightBefore = concurrencyLimiter.getInFlight();
+        MvcResult pending = mockMvc.perform(post("/allocation/reserve").with(user("async-account")).with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(inFlightBefore + 1, concurrencyLimiter.getInFlight());
+
+        mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk());
+        assertEquals(inFlightBefore, concurrencyLimiter.getInFlight());
+    }
+
+    /**
+     * Wall-clock load run, enabled with {@code -Dbenchmark=true}: compares the well-behaved account p99 with and
+     * without the noisy neighbor
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void wellBehavedAccountIsNotStarvedByNoisyNeighbor() throws Exception {
+        long baselineP99Millis = measureP99Millis("well-behaved-baseline");
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger noisyRejected = new AtomicInteger();
+        AtomicInteger noisyAdmitted = new AtomicInteger();
+        AtomicInteger rejectedWithoutRetryAfter = new AtomicInteger();
+        ExecutorService noisy = Executors.newFixedThreadPool(NOISY_THREADS);
+        List<Future<?>> noisyTasks = new ArrayList<>();
+        for (int i = 0; i < NOISY_THREADS; i++) {
+            noisyTasks.add(noisy.submit(() -> {
+                while (running.get()) {
+                    MockHttpServletResponse response = allocate("noisy", null);
+                    if (response.getStatus() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        noisyRejected.incrementAndGet();
+                        if (response.getHeader(HttpHeaders.RETRY_AFTER) == null) {
+                            rejectedWithoutRetryAfter.incrementAndGet();
+                        }
+                    } else {
+                        noisyAdmitted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long p99Millis;
+        try {
+            p99Millis = measureP99Millis("well-behaved");
+        } finally {
+            running.set(false);
+            noisy.shutdown();
+        }
+        for (Future<?> task : noisyTasks) {
+            task.get(10, TimeUnit.SECONDS);
+        }
+
+        logger.info("noisy admitted={} rejected={}, well-behaved p99={}ms (baseline {}ms)", noisyAdmitted,
+                noisyRejected, p99Millis, baselineP99Millis);
+        assertEquals(0, rejectedWithoutRetryAfter.get(), "429 responses without Retry-After");
+        assertTrue(noisyRejected.get() > noisyAdmitted.get(), "noisy account was not throttled");
+        assertTrue(p99Millis <= Math.max(3 * baselineP99Millis, baselineP99Millis + 50),
+                "well-behaved p99 latency " + p99Millis + "ms against a baseline of " + baselineP99Millis + "ms");
+    }
+
+    /**
+     * Send the well-behaved account's requests at its normal rate, every one must be admitted
+     */
+    private long measureP99Millis(String principal) throws Exception {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < WELL_BEHAVED_REQUESTS; i++) {
+            long start = System.nanoTime();
+            MockHttpServletResponse response = allocate(principal, null);
+            latencies.add(System.nanoTime() - start);
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+            Thread.sleep(WELL_BEHAVED_INTERVAL_MILLIS);
+        }
+        Collections.sort(latencies);
+        return TimeUnit.NANOSECONDS.toMillis(latencies.get((int) (latencies.size() * 0.99) - 1));
+    }
+
+    private MockHttpServletResponse allocate(String principal, String accountHeader) throws Exception {
+        return mockMvc.perform(post("/allocation/check").with(user(principal)).with(csrf())
+                .header("X-Account-Id", accountHeader == null ? principal : accountHeader))
+                .andReturn()
+                .getResponse();
+    }
+
+    @RestController
+    static class AllocationController {
+
+        @PostMapping("/allocation/check")
+        public ResponseEntity<Void> check() throws InterruptedException {
+            Thread.sleep(HANDLER_LATENCY_MILLIS);
+            return ResponseEntity.ok().build();
+        }
+
+        @PostMapping("/allocation/reserve")
+        public Mono<ResponseEntity<Void>> reserve() {
+            return Mono.delay(Duration.ofMillis(ASYNC_HANDLER_LATENCY_MILLIS))
+                    .map(tick -> ResponseEntity.ok().<Void>build());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.bastawesy.spring.reactor.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compare payload size and encode/decode throughput of JSON, CBOR and Smile on representative
+ * balance and allocation payloads.
+ * <p>
+ * The round trip and size checks run with every build. The throughput loop only runs with
+ * {@code -Dbenchmark=true} and measures the bare {@link CommonUtils} mappers, not the Spring MVC message
+ * converters that serve HTTP traffic, so it compares the formats rather than end to end request cost.
+ */
+class SerializationFormatBenchmarkTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(SerializationFormatBenchmarkTests.class);
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 50_000;
+    private static final List<MediaType> FORMATS = Arrays.asList(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, HTTPUtils.APPLICATION_SMILE);
+
+    @Test
+    void binaryFormatsRoundTripAndAreSmallerThanJson() {
+        assertRoundTripAndSize(BalanceSample.class, BalanceSample.create(20));
+        assertRoundTripAndSize(AllocationSample.class, AllocationSample.create());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void measureThroughput() {
+        measure(BalanceSample.class, BalanceSample.create(20));
+        measure(AllocationSample.class, AllocationSample.create());
+    }
+
+    private <T> void assertRoundTripAndSize(Class<T> klass, T sample) {
+        byte[] json = CommonUtils.toBytes(sample, MediaType.APPLICATION_JSON).orElseThrow(IllegalStateException::new);
+        for (MediaType format : FORMATS) {
+            byte[] encoded = CommonUtils.toBytes(sample, format).orElseThrow(IllegalStateException::new);
+            T decoded = CommonUtils.fromBytes(encoded, klass, format).orElseThrow(IllegalStateException::new);
+            assertArrayEquals(json, CommonUtils.toBytes(decoded, MediaType.APPLICATION_JSON).orElse(null),
+                    format + " round trip changed the payload");
+            assertTrue(encoded.length <= json.length, format + " payload is larger than json");
+        }
+    }
+
+    private <T> void measure(Class<T> klass, T sample) {
+        int jsonLength = CommonUtils.toBytes(sample, MediaType.APPLICATION_JSON)
+                .orElseThrow(IllegalStateException::new).length;
+        for (MediaType format : FORMATS) {
+            byte[] encoded = CommonUtils.toBytes(sample, format).orElseThrow(IllegalStateException::new);
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                CommonUtils.fromBytes(CommonUtils.toBytes(sample, format).orElse(null), klass, format);
+            }
+            long encodeStart = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                CommonUtils.toBytes(sample, format);
+            }
+            long encodeNanos = System.nanoTime() - encodeStart;
+            long decodeStart = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                CommonUtils.fromBytes(encoded, klass, format);
+            }
+            long decodeNanos = System.nanoTime() - decodeStart;
+
+            logger.info("{} {}: size={} bytes ({}% of json), encode={} ops/s, decode={} ops/s",
+                    klass.getSimpleName(), format, encoded.length, encoded.length * 100 / jsonLength,
+                    MEASURED_ITERATIONS * 1_000_000_000L / encodeNanos,
+                    MEASURED_ITERATIONS * 1_000_000_000L / decodeNanos);
+        }
+    }
+
+    public static class BalanceSample {
+        public String balanceId;
+        public String balanceBaseName;
+        public String accountId;
+        public String subscriptionId;
+        public BigDecimal value;
+        public String balanceType;
+        public String unit;
+        public Integer priority;
+        public String createdBy;
+        public String source;
+        public Long validFrom;
+        public Long validTo;
+        public List<String> serviceKeys;
+
+        static BalanceSample create(int serviceKeys) {
+            BalanceSample sample = new BalanceSample();
+            sample.balanceId = "8d0c5a7e-4c1b-4a5f-9f4e-1f2a3b4c5d6e";
+            sample.balanceBaseName = "MONTHLY_DATA_BUNDLE";
+            sample.accountId = "ACC-000123456";
+            sample.subscriptionId = "SUB-000987654";
+            sample.value = new BigDecimal("10737418240.00");
+            sample.balanceType = "DATA";
+            sample.unit = "BYTE";
+            sample.priority = 1;
+            sample.createdBy = "provisioning-service";
+            sample.source = "CRM";
+            sample.validFrom = 1577836800000L;
+            sample.validTo = 1580515199000L;
+            sample.serviceKeys = new ArrayList<>();
+            for (int i = 0; i < serviceKeys; i++) {
+                sample.serviceKeys.add("SERVICE_KEY_" + i);
+            }
+            return sample;
+        }
+    }
+
+    public static class AllocationSample {
+        public String accountId;
+        public String subscriptionId;
+        public String serviceKey;
+        public String reservedFor;
+        public BigDecimal value;
+        public String unit;
+        public Long validTo;
+
+        static AllocationSample create() {
+            AllocationSample sample = new AllocationSample();
+            sample.accountId = "ACC-000123456";
+            sample.subscriptionId = "SUB-000987654";
+            sample.serviceKey = "SERVICE_KEY_3";
+            sample.reservedFor = "session-7f3e2d1c";
+            sample.value = new BigDecimal("1048576");
+            sample.unit = "BYTE";
+            sample.validTo = 1580515199000L;
+            return sample;
+        }
+    }
+}